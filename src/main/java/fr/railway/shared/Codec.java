@@ -0,0 +1,12 @@
+package fr.railway.shared;
+
+import java.nio.ByteBuffer;
+
+public interface Codec<T> {
+
+    int sizeOf(T value);
+
+    void encode(T value, ByteBuffer buffer);
+
+    T decode(ByteBuffer buffer);
+}
@@ -0,0 +1,167 @@
+package fr.railway.shared;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class Codecs {
+
+    public static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public int sizeOf(String value) {
+            if (value == null) {
+                return 1;
+            }
+            final int length = utf8Length(value);
+            return Varint.sizeOf(length + 1) + length;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer) {
+            if (value == null) {
+                buffer.put((byte) 0);
+                return;
+            }
+            Varint.write(utf8Length(value) + 1, buffer);
+            writeUtf8(value, buffer);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            final int encodedLength = Varint.readInt(buffer);
+            if (encodedLength == 0) {
+                return null;
+            }
+            if (encodedLength < 0) {
+                throw new IllegalStateException("Malformed string length: " + encodedLength);
+            }
+            final int length = encodedLength - 1;
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (buffer.hasArray()) {
+                final int position = buffer.position();
+                buffer.position(position + length);
+                return new String(buffer.array(), buffer.arrayOffset() + position, length,
+                    StandardCharsets.UTF_8);
+            }
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public int sizeOf(Integer value) {
+            return Varint.sizeOf(Varint.zigZag(requireValue(value)));
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer) {
+            Varint.write(Varint.zigZag(requireValue(value)), buffer);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return Varint.unZigZag(Varint.readInt(buffer));
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int sizeOf(Long value) {
+            return Varint.sizeOf(Varint.zigZag(requireValue(value)));
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer) {
+            Varint.write(Varint.zigZag(requireValue(value)), buffer);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer) {
+            return Varint.unZigZag(Varint.readLong(buffer));
+        }
+    };
+
+    public static final Codec<ExpectedFailedReason> EXPECTED_FAILED_REASON = new Codec<>() {
+        @Override
+        public int sizeOf(ExpectedFailedReason value) {
+            return STRING.sizeOf(value.failedReason());
+        }
+
+        @Override
+        public void encode(ExpectedFailedReason value, ByteBuffer buffer) {
+            STRING.encode(value.failedReason(), buffer);
+        }
+
+        @Override
+        public ExpectedFailedReason decode(ByteBuffer buffer) {
+            return new ExpectedFailedReason(STRING.decode(buffer));
+        }
+    };
+
+    public static final ReasonCodec REASON = new ReasonCodec()
+        .with(0, ExpectedFailedReason.class, EXPECTED_FAILED_REASON);
+
+    private Codecs() {
+    }
+
+    private static <T> T requireValue(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot encode a null number");
+        }
+        return value;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (isSurrogatePair(value, i)) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeUtf8(String value, ByteBuffer buffer) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (isSurrogatePair(value, i)) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index))
+            && index + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+}
@@ -1,5 +1,7 @@
 package fr.railway.shared;
 
+import java.util.Objects;
+
 public class ExpectedFailedReason extends Reason {
     private final String failedReason;
 
@@ -12,4 +14,20 @@ public class ExpectedFailedReason extends Reason {
         return failedReason;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ExpectedFailedReason that = (ExpectedFailedReason) o;
+        return Objects.equals(failedReason, that.failedReason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(failedReason);
+    }
 }
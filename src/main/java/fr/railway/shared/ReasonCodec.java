@@ -0,0 +1,93 @@
+package fr.railway.shared;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ReasonCodec implements Codec<Reason> {
+    private final List<Entry<? extends Reason>> entries;
+
+    public ReasonCodec() {
+        this(List.of());
+    }
+
+    private ReasonCodec(List<Entry<? extends Reason>> entries) {
+        this.entries = entries;
+    }
+
+    public <R extends Reason> ReasonCodec with(int tag, Class<R> type, Codec<R> codec) {
+        if (tag < 0) {
+            throw new IllegalArgumentException("Reason tag must not be negative: " + tag);
+        }
+        if (entryOf(tag) != null) {
+            throw new IllegalArgumentException("Reason tag already registered: " + tag);
+        }
+        if (entryOf(type) != null) {
+            throw new IllegalArgumentException("Reason type already registered: " + type.getName());
+        }
+        final List<Entry<? extends Reason>> registered = new ArrayList<>(entries);
+        registered.add(new Entry<>(tag, type, codec));
+        return new ReasonCodec(List.copyOf(registered));
+    }
+
+    @Override
+    public int sizeOf(Reason value) {
+        final Entry<? extends Reason> entry = requireEntry(value);
+        return Varint.sizeOf(entry.tag()) + entry.sizeOf(value);
+    }
+
+    @Override
+    public void encode(Reason value, ByteBuffer buffer) {
+        final Entry<? extends Reason> entry = requireEntry(value);
+        Varint.write(entry.tag(), buffer);
+        entry.encode(value, buffer);
+    }
+
+    @Override
+    public Reason decode(ByteBuffer buffer) {
+        final int tag = Varint.readInt(buffer);
+        final Entry<? extends Reason> entry = entryOf(tag);
+        if (entry == null) {
+            throw new IllegalStateException("Unknown reason tag: " + tag);
+        }
+        return entry.codec().decode(buffer);
+    }
+
+    private Entry<? extends Reason> requireEntry(Reason value) {
+        final Entry<? extends Reason> entry = entryOf(value.getClass());
+        if (entry == null) {
+            throw new IllegalArgumentException(
+                "Unsupported reason type: " + value.getClass().getName());
+        }
+        return entry;
+    }
+
+    private Entry<? extends Reason> entryOf(int tag) {
+        for (Entry<? extends Reason> entry : entries) {
+            if (entry.tag() == tag) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private Entry<? extends Reason> entryOf(Class<?> type) {
+        for (Entry<? extends Reason> entry : entries) {
+            if (entry.type() == type) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private record Entry<R extends Reason>(int tag, Class<R> type, Codec<R> codec) {
+
+        int sizeOf(Reason value) {
+            return codec.sizeOf(type.cast(value));
+        }
+
+        void encode(Reason value, ByteBuffer buffer) {
+            codec.encode(type.cast(value), buffer);
+        }
+    }
+}
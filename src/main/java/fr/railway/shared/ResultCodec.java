@@ -0,0 +1,109 @@
+package fr.railway.shared;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public final class ResultCodec<S, F extends Reason> implements Codec<Result<S, F>> {
+    static final byte SUCCESS_TAG = 0;
+    static final byte FAILURE_TAG = 1;
+
+    private final Codec<S> successCodec;
+    private final Codec<F> failureCodec;
+
+    public ResultCodec(Codec<S> successCodec, Codec<F> failureCodec) {
+        this.successCodec = successCodec;
+        this.failureCodec = failureCodec;
+    }
+
+    @Override
+    public int sizeOf(Result<S, F> result) {
+        return result.either(
+            success -> 1 + successCodec.sizeOf(success),
+            failure -> 1 + failureCodec.sizeOf(requireReason(failure))
+        );
+    }
+
+    @Override
+    public void encode(Result<S, F> result, ByteBuffer buffer) {
+        result.either(
+            success -> encodeSuccess(success, buffer),
+            failure -> encodeFailure(requireReason(failure), buffer)
+        );
+    }
+
+    @Override
+    public Result<S, F> decode(ByteBuffer buffer) {
+        final int start = buffer.position();
+        try {
+            final byte tag = buffer.get();
+            return switch (tag) {
+                case SUCCESS_TAG -> Result.success(successCodec.decode(buffer));
+                case FAILURE_TAG -> Result.failure(failureCodec.decode(buffer));
+                default -> throw new IllegalStateException("Unknown result tag: " + tag);
+            };
+        } catch (BufferUnderflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    public void write(Result<S, F> result, WritableByteChannel channel, ByteBuffer buffer)
+        throws IOException {
+        buffer.clear();
+        append(result, channel, buffer);
+        flush(channel, buffer);
+    }
+
+    public void write(Iterable<? extends Result<S, F>> results, WritableByteChannel channel,
+        ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        for (Result<S, F> result : results) {
+            append(result, channel, buffer);
+        }
+        flush(channel, buffer);
+    }
+
+    private void append(Result<S, F> result, WritableByteChannel channel, ByteBuffer buffer)
+        throws IOException {
+        final int size = sizeOf(result);
+        if (size > buffer.remaining()) {
+            flush(channel, buffer);
+        }
+        if (size > buffer.remaining()) {
+            final ByteBuffer oversized = ByteBuffer.allocate(size);
+            encode(result, oversized);
+            flush(channel, oversized);
+            return;
+        }
+        encode(result, buffer);
+    }
+
+    private ByteBuffer encodeSuccess(S success, ByteBuffer buffer) {
+        buffer.put(SUCCESS_TAG);
+        successCodec.encode(success, buffer);
+        return buffer;
+    }
+
+    private ByteBuffer encodeFailure(F failure, ByteBuffer buffer) {
+        buffer.put(FAILURE_TAG);
+        failureCodec.encode(failure, buffer);
+        return buffer;
+    }
+
+    private static <F extends Reason> F requireReason(F failure) {
+        if (failure == null) {
+            throw new IllegalArgumentException("Cannot encode a failure without reason");
+        }
+        return failure;
+    }
+
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,267 @@
+package fr.railway.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import fr.railway.shared.Codec;
+import fr.railway.shared.Codecs;
+import fr.railway.shared.ExpectedFailedReason;
+import fr.railway.shared.Reason;
+import fr.railway.shared.Result;
+import fr.railway.shared.ResultCodec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResultCodecTest {
+    final ResultCodec<String, Reason> codec = new ResultCodec<>(Codecs.STRING, Codecs.REASON);
+
+    @Test
+    void should_round_trip_success() {
+        final Result<String, Reason> given = Result.success("valid_email@email.fr");
+
+        assertThat(roundTrip(codec, given)).isEqualTo(given);
+    }
+
+    @Test
+    void should_round_trip_failure() {
+        final Result<String, Reason> given =
+            Result.failure(new ExpectedFailedReason("invalid_email n'est pas un email"));
+
+        assertThat(roundTrip(codec, given)).isEqualTo(given);
+    }
+
+    @Test
+    void should_round_trip_null_and_non_ascii_payloads() {
+        final Result<String, Reason> givenSuccess = Result.success(null);
+        final Result<String, Reason> givenFailure =
+            Result.failure(new ExpectedFailedReason("Opération a échoué 🚀"));
+
+        assertThat(roundTrip(codec, givenSuccess)).isEqualTo(givenSuccess);
+        assertThat(roundTrip(codec, givenFailure)).isEqualTo(givenFailure);
+    }
+
+    @Test
+    void should_round_trip_with_pluggable_codecs() {
+        final var integerCodec = new ResultCodec<>(Codecs.INTEGER, Codecs.EXPECTED_FAILED_REASON);
+        final var longCodec = new ResultCodec<>(Codecs.LONG, Codecs.EXPECTED_FAILED_REASON);
+        final Result<Integer, ExpectedFailedReason> givenInteger = Result.success(-300);
+        final Result<Long, ExpectedFailedReason> givenLong = Result.success(Long.MIN_VALUE);
+
+        assertThat(roundTrip(integerCodec, givenInteger)).isEqualTo(givenInteger);
+        assertThat(roundTrip(longCodec, givenLong)).isEqualTo(givenLong);
+    }
+
+    @Test
+    void should_encode_with_tag_byte_and_varint_length() {
+        final var buffer = ByteBuffer.allocate(16);
+
+        codec.encode(Result.failure(new ExpectedFailedReason("ko")), buffer);
+
+        assertThat(buffer.flip()).isEqualTo(ByteBuffer.wrap(new byte[] {1, 0, 3, 'k', 'o'}));
+    }
+
+    @Test
+    void should_stream_results_through_channel() throws IOException {
+        final List<Result<String, Reason>> given = List.of(
+            Result.success("valid_email@email.fr"),
+            Result.failure(new ExpectedFailedReason("invalid_email n'est pas un email")),
+            Result.success("other_email@email.fr"));
+        final var output = new ByteArrayOutputStream();
+
+        codec.write(given, Channels.newChannel(output), ByteBuffer.allocate(32));
+
+        assertThat(decodeAll(output.toByteArray())).isEqualTo(given);
+    }
+
+    @Test
+    void should_stream_record_larger_than_buffer() throws IOException {
+        final List<Result<String, Reason>> given = List.of(
+            Result.success("ok"),
+            Result.failure(new ExpectedFailedReason("invalid_email n'est pas un email")),
+            Result.success("ok"));
+        final var output = new ByteArrayOutputStream();
+
+        codec.write(given, Channels.newChannel(output), ByteBuffer.allocate(8));
+
+        assertThat(decodeAll(output.toByteArray())).isEqualTo(given);
+    }
+
+    @Test
+    void should_write_single_record_larger_than_buffer() throws IOException {
+        final Result<String, Reason> given =
+            Result.failure(new ExpectedFailedReason("invalid_email n'est pas un email"));
+        final var output = new ByteArrayOutputStream();
+
+        codec.write(given, Channels.newChannel(output), ByteBuffer.allocate(8));
+
+        assertThat(decodeAll(output.toByteArray())).containsExactly(given);
+    }
+
+    @Test
+    void should_round_trip_registered_reason_subtype() {
+        final var reasonCodec = Codecs.REASON.with(1, TimeoutReason.class, new Codec<>() {
+            @Override
+            public int sizeOf(TimeoutReason value) {
+                return Codecs.INTEGER.sizeOf(value.seconds);
+            }
+
+            @Override
+            public void encode(TimeoutReason value, ByteBuffer buffer) {
+                Codecs.INTEGER.encode(value.seconds, buffer);
+            }
+
+            @Override
+            public TimeoutReason decode(ByteBuffer buffer) {
+                return new TimeoutReason(Codecs.INTEGER.decode(buffer));
+            }
+        });
+        final var resultCodec = new ResultCodec<>(Codecs.STRING, reasonCodec);
+        final Result<String, Reason> givenTimeout = Result.failure(new TimeoutReason(30));
+        final Result<String, Reason> givenExpected =
+            Result.failure(new ExpectedFailedReason("message"));
+
+        assertThat(roundTrip(resultCodec, givenTimeout)).isEqualTo(givenTimeout);
+        assertThat(roundTrip(resultCodec, givenExpected)).isEqualTo(givenExpected);
+    }
+
+    @Test
+    void should_reject_reason_tag_already_registered() {
+        assertThatThrownBy(() -> Codecs.REASON.with(0, TimeoutReason.class, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Reason tag already registered: 0");
+    }
+
+    @Test
+    void should_reject_unsupported_reason_subtype() {
+        final Result<String, Reason> given = Result.failure(new Reason() {
+            @Override
+            public String failedReason() {
+                return "message";
+            }
+        });
+        final var buffer = ByteBuffer.allocate(16);
+
+        assertThatThrownBy(() -> codec.encode(given, buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Unsupported reason type: ");
+    }
+
+    @Test
+    void should_reject_failure_without_reason() {
+        final Result<String, Reason> given = Result.failure(null);
+        final var buffer = ByteBuffer.allocate(16);
+
+        assertThatThrownBy(() -> codec.encode(given, buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Cannot encode a failure without reason");
+    }
+
+    @Test
+    void should_reject_null_number() {
+        final var integerCodec = new ResultCodec<>(Codecs.INTEGER, Codecs.EXPECTED_FAILED_REASON);
+        final Result<Integer, ExpectedFailedReason> given = Result.success(null);
+        final var buffer = ByteBuffer.allocate(16);
+
+        assertThatThrownBy(() -> integerCodec.encode(given, buffer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Cannot encode a null number");
+    }
+
+    @Test
+    void should_decode_record_split_across_two_reads() {
+        final Result<String, Reason> given = Result.success("valid_email@email.fr");
+        final var encoded = ByteBuffer.allocate(codec.sizeOf(given));
+        codec.encode(given, encoded);
+        final var buffer = ByteBuffer.allocate(64);
+        buffer.put(encoded.array(), 0, 5).flip();
+
+        assertThatThrownBy(() -> codec.decode(buffer))
+            .isInstanceOf(BufferUnderflowException.class);
+        assertThat(buffer.position()).isEqualTo(0);
+
+        buffer.compact().put(encoded.array(), 5, encoded.capacity() - 5).flip();
+        assertThat(codec.decode(buffer)).isEqualTo(given);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void should_reject_varint_overflowing_int() {
+        final var buffer = ByteBuffer.wrap(new byte[] {0, (byte) 0x81, (byte) 0x80, (byte) 0x80,
+            (byte) 0x80, 0x70});
+
+        assertThatThrownBy(() -> codec.decode(buffer))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Malformed varint");
+    }
+
+    @Test
+    void should_reject_malformed_string_length() {
+        final var buffer = ByteBuffer.wrap(
+            new byte[] {0, (byte) 0xFB, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+
+        assertThatThrownBy(() -> codec.decode(buffer))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Malformed string length: -5");
+    }
+
+    @Test
+    void should_reject_unknown_tag() {
+        final var buffer = ByteBuffer.wrap(new byte[] {7});
+
+        assertThatThrownBy(() -> codec.decode(buffer))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Unknown result tag: 7");
+    }
+
+    private List<Result<String, Reason>> decodeAll(byte[] bytes) {
+        final var input = ByteBuffer.wrap(bytes);
+        final var actual = new ArrayList<Result<String, Reason>>();
+        while (input.hasRemaining()) {
+            actual.add(codec.decode(input));
+        }
+        return actual;
+    }
+
+    private <S, F extends Reason> Result<S, F> roundTrip(ResultCodec<S, F> resultCodec,
+        Result<S, F> result) {
+        final var buffer = ByteBuffer.allocate(resultCodec.sizeOf(result));
+        resultCodec.encode(result, buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        return resultCodec.decode(buffer.flip());
+    }
+
+    private static final class TimeoutReason extends Reason {
+        private final int seconds;
+
+        TimeoutReason(int seconds) {
+            this.seconds = seconds;
+        }
+
+        @Override
+        public String failedReason() {
+            return String.format("timeout après %d secondes", seconds);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return seconds == ((TimeoutReason) o).seconds;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(seconds);
+        }
+    }
+}